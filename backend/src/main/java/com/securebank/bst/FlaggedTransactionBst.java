@@ -2,7 +2,9 @@ package com.securebank.bst;
 
 import com.securebank.model.FlaggedTransaction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -165,6 +167,26 @@ public class FlaggedTransactionBst {
     /** Returns the number of flagged transactions in the tree. */
     public int size() { return size; }
 
+    /**
+     * Height of the tree in levels (0 when empty, 1 for a single node).
+     * Level-order walk rather than recursion: sequential IDs produce a fully skewed tree as deep as its size.
+     */
+    public int height() {
+        if (root == null) return 0;
+        Deque<BstNode> level = new ArrayDeque<>();
+        level.add(root);
+        int height = 0;
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                BstNode node = level.poll();
+                if (node.getLeft() != null) level.add(node.getLeft());
+                if (node.getRight() != null) level.add(node.getRight());
+            }
+        }
+        return height;
+    }
+
     /** Returns the root (for traversal/display). */
     public BstNode getRoot() { return root; }
 
@@ -0,0 +1,43 @@
+package com.securebank.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards /api/admin/** controllers: the X-Admin-Token header must match loadtest.admin-token.
+ * With no token configured every call is refused. Runs before body binding and validation,
+ * so unauthenticated callers learn nothing about the request format.
+ */
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] adminToken;
+
+    public AdminTokenInterceptor(String adminToken) {
+        this.adminToken = adminToken == null ? new byte[0] : adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Only controller methods; unmapped paths (e.g. admin endpoint disabled) fall through to 404
+        if (!(handler instanceof HandlerMethod)) return true;
+        String token = request.getHeader(TOKEN_HEADER);
+        if (adminToken.length > 0 && token != null
+                && MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Missing or invalid " + TOKEN_HEADER + ".\"}");
+        return false;
+    }
+}
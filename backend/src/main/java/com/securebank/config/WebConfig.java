@@ -3,11 +3,13 @@ package com.securebank.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * CORS configuration so GitHub Pages frontend can call the Render-deployed API.
- * Covers /api/** and /actuator/** (health check).
+ * Covers the public API and /actuator/** (health check); /api/admin/** is deliberately left out.
+ * Also registers the admin token check for /api/admin/**.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -18,14 +20,22 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.allowed-origins:}")
     private String allowedOrigins;
 
+    @Value("${loadtest.admin-token:}")
+    private String adminToken;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdminTokenInterceptor(adminToken)).addPathPatterns("/api/admin/**");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Use env CORS_ORIGINS if set; otherwise allow localhost + GitHub Pages (avoids ${var:http://...} colon parsing)
         String originsStr = (allowedOrigins == null || allowedOrigins.isBlank()) ? DEFAULT_ORIGINS : allowedOrigins.trim();
         String[] origins = originsStr.split("\\s*,\\s*");
 
-        // Apply CORS to API and to actuator (health check used by frontend)
-        String[] mappings = { "/api/**", "/actuator/**" };
+        // Apply CORS to public API and to actuator (health check used by frontend); admin endpoints stay same-origin only
+        String[] mappings = { "/api/flagged-transactions/**", "/api/docs/**", "/actuator/**" };
         for (String mapping : mappings) {
             registry.addMapping(mapping)
                     .allowedOriginPatterns(origins)
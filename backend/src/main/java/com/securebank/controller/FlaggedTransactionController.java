@@ -5,10 +5,14 @@ import com.securebank.dto.SearchResultDto;
 import com.securebank.dto.TransactionRequest;
 import com.securebank.model.FlaggedTransaction;
 import com.securebank.service.FlaggedTransactionService;
+import com.securebank.service.MutationStreamService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -22,9 +26,11 @@ import java.util.Map;
 public class FlaggedTransactionController {
 
     private final FlaggedTransactionService service;
+    private final MutationStreamService mutationStream;
 
-    public FlaggedTransactionController(FlaggedTransactionService service) {
+    public FlaggedTransactionController(FlaggedTransactionService service, MutationStreamService mutationStream) {
         this.service = service;
+        this.mutationStream = mutationStream;
     }
 
     /** Insert a new flagged transaction (BST insert). */
@@ -63,4 +69,25 @@ public class FlaggedTransactionController {
     public Map<String, Integer> size() {
         return Map.of("size", service.size());
     }
+
+    /**
+     * Server-Sent Events stream of insert/replace/delete events, delivered in batches.
+     * Resume with afterSequence or the Last-Event-ID header (sent automatically by EventSource on reconnect);
+     * both take the event id form {@code epoch-sequence}.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String afterSequence,
+                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return mutationStream.subscribe(afterSequence != null ? afterSequence : lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /** Change stream buffer position and subscriber count. */
+    @GetMapping("/events/stats")
+    public Map<String, Object> eventStats() {
+        return mutationStream.stats();
+    }
 }
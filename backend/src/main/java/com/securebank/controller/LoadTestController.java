@@ -0,0 +1,61 @@
+package com.securebank.controller;
+
+import com.securebank.dto.LoadTestRequest;
+import com.securebank.dto.LoadTestStatusDto;
+import com.securebank.service.LoadGeneratorService;
+import com.securebank.service.LoadTestAlreadyRunningException;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Admin endpoint for capacity testing: starts, polls and cancels a synthetic workload against an
+ * isolated BST service. Only registered when loadtest.enabled=true; the X-Admin-Token check is done
+ * by AdminTokenInterceptor. Not covered by the public CORS mapping, so browsers on other origins cannot call it.
+ */
+@RestController
+@RequestMapping("/api/admin/load-test")
+@ConditionalOnProperty(name = "loadtest.enabled", havingValue = "true")
+public class LoadTestController {
+
+    private final LoadGeneratorService loadGenerator;
+
+    public LoadTestController(LoadGeneratorService loadGenerator) {
+        this.loadGenerator = loadGenerator;
+    }
+
+    /** Start a load test in the background; poll GET for progress and result. */
+    @PostMapping
+    public ResponseEntity<?> start(@Valid @RequestBody LoadTestRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(loadGenerator.start(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (LoadTestAlreadyRunningException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    /** Status of the current or last run (result included once it has stopped). */
+    @GetMapping
+    public ResponseEntity<?> status() {
+        return orNotFound(loadGenerator.status());
+    }
+
+    /** Cancel the current run; a partial result is kept. */
+    @DeleteMapping
+    public ResponseEntity<?> cancel() {
+        return orNotFound(loadGenerator.cancel());
+    }
+
+    private static ResponseEntity<?> orNotFound(LoadTestStatusDto status) {
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "message", "No load test has been started."));
+        }
+        return ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,70 @@
+package com.securebank.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for a load test run: operation count, insert/search/delete mix, ID pattern, concurrency
+ * and a time limit after which workers stop and a partial result is reported.
+ * Percentages are relative weights; they do not have to add up to 100.
+ */
+public class LoadTestRequest {
+
+    public enum IdPattern { SEQUENTIAL, RANDOM }
+
+    @Min(value = 1, message = "operations must be at least 1")
+    @Max(value = 5_000_000, message = "operations must be at most 5,000,000")
+    private int operations = 100_000;
+
+    @Min(value = 0, message = "insertPercent must be at least 0")
+    @Max(value = 100, message = "insertPercent must be at most 100")
+    private int insertPercent = 50;
+
+    @Min(value = 0, message = "searchPercent must be at least 0")
+    @Max(value = 100, message = "searchPercent must be at most 100")
+    private int searchPercent = 40;
+
+    @Min(value = 0, message = "deletePercent must be at least 0")
+    @Max(value = 100, message = "deletePercent must be at most 100")
+    private int deletePercent = 10;
+
+    @NotNull(message = "idPattern is required")
+    private IdPattern idPattern = IdPattern.RANDOM;
+
+    @Min(value = 1, message = "concurrency must be at least 1")
+    @Max(value = 256, message = "concurrency must be at most 256")
+    private int concurrency = 4;
+
+    @Min(value = 1, message = "checkpoints must be at least 1")
+    @Max(value = 100, message = "checkpoints must be at most 100")
+    private int checkpoints = 10;
+
+    @Min(value = 1000, message = "maxDurationMs must be at least 1000")
+    @Max(value = 3_600_000, message = "maxDurationMs must be at most 3,600,000 (1 hour)")
+    private long maxDurationMs = 600_000;
+
+    public int getOperations() { return operations; }
+    public void setOperations(int operations) { this.operations = operations; }
+
+    public int getInsertPercent() { return insertPercent; }
+    public void setInsertPercent(int insertPercent) { this.insertPercent = insertPercent; }
+
+    public int getSearchPercent() { return searchPercent; }
+    public void setSearchPercent(int searchPercent) { this.searchPercent = searchPercent; }
+
+    public int getDeletePercent() { return deletePercent; }
+    public void setDeletePercent(int deletePercent) { this.deletePercent = deletePercent; }
+
+    public IdPattern getIdPattern() { return idPattern; }
+    public void setIdPattern(IdPattern idPattern) { this.idPattern = idPattern; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public int getCheckpoints() { return checkpoints; }
+    public void setCheckpoints(int checkpoints) { this.checkpoints = checkpoints; }
+
+    public long getMaxDurationMs() { return maxDurationMs; }
+    public void setMaxDurationMs(long maxDurationMs) { this.maxDurationMs = maxDurationMs; }
+}
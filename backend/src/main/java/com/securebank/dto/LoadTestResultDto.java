@@ -0,0 +1,98 @@
+package com.securebank.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test response: throughput, per-operation latency percentiles (microseconds),
+ * final tree size/height, and checkpoints showing how throughput changes as the tree grows.
+ */
+public class LoadTestResultDto {
+
+    private long totalOperations;
+    private long durationMs;
+    private double throughputOpsPerSec;
+    private int finalSize;
+    private int finalHeight;
+    private Map<String, LatencySummary> latencies = new LinkedHashMap<>(); // keyed by "insert", "search", "delete"
+    private List<Checkpoint> checkpoints = new ArrayList<>();
+
+    public long getTotalOperations() { return totalOperations; }
+    public void setTotalOperations(long totalOperations) { this.totalOperations = totalOperations; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public double getThroughputOpsPerSec() { return throughputOpsPerSec; }
+    public void setThroughputOpsPerSec(double throughputOpsPerSec) { this.throughputOpsPerSec = throughputOpsPerSec; }
+
+    public int getFinalSize() { return finalSize; }
+    public void setFinalSize(int finalSize) { this.finalSize = finalSize; }
+
+    public int getFinalHeight() { return finalHeight; }
+    public void setFinalHeight(int finalHeight) { this.finalHeight = finalHeight; }
+
+    public Map<String, LatencySummary> getLatencies() { return latencies; }
+    public void setLatencies(Map<String, LatencySummary> latencies) { this.latencies = latencies; }
+
+    public List<Checkpoint> getCheckpoints() { return checkpoints; }
+    public void setCheckpoints(List<Checkpoint> checkpoints) { this.checkpoints = checkpoints; }
+
+    /** HdrHistogram percentiles for one operation type, in microseconds (fractional, so sub-microsecond ops are visible). */
+    public static class LatencySummary {
+        private long count;
+        private double meanMicros;
+        private double p50Micros;
+        private double p90Micros;
+        private double p99Micros;
+        private double p999Micros;
+        private double maxMicros;
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+
+        public double getMeanMicros() { return meanMicros; }
+        public void setMeanMicros(double meanMicros) { this.meanMicros = meanMicros; }
+
+        public double getP50Micros() { return p50Micros; }
+        public void setP50Micros(double p50Micros) { this.p50Micros = p50Micros; }
+
+        public double getP90Micros() { return p90Micros; }
+        public void setP90Micros(double p90Micros) { this.p90Micros = p90Micros; }
+
+        public double getP99Micros() { return p99Micros; }
+        public void setP99Micros(double p99Micros) { this.p99Micros = p99Micros; }
+
+        public double getP999Micros() { return p999Micros; }
+        public void setP999Micros(double p999Micros) { this.p999Micros = p999Micros; }
+
+        public double getMaxMicros() { return maxMicros; }
+        public void setMaxMicros(double maxMicros) { this.maxMicros = maxMicros; }
+    }
+
+    /** Snapshot taken after each phase of the run. */
+    public static class Checkpoint {
+        private long completedOperations;
+        private int size;
+        private int height;
+        private double phaseThroughputOpsPerSec;
+        private double phaseP99Micros;
+
+        public long getCompletedOperations() { return completedOperations; }
+        public void setCompletedOperations(long completedOperations) { this.completedOperations = completedOperations; }
+
+        public int getSize() { return size; }
+        public void setSize(int size) { this.size = size; }
+
+        public int getHeight() { return height; }
+        public void setHeight(int height) { this.height = height; }
+
+        public double getPhaseThroughputOpsPerSec() { return phaseThroughputOpsPerSec; }
+        public void setPhaseThroughputOpsPerSec(double phaseThroughputOpsPerSec) { this.phaseThroughputOpsPerSec = phaseThroughputOpsPerSec; }
+
+        public double getPhaseP99Micros() { return phaseP99Micros; }
+        public void setPhaseP99Micros(double phaseP99Micros) { this.phaseP99Micros = phaseP99Micros; }
+    }
+}
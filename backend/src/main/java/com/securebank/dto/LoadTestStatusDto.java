@@ -0,0 +1,45 @@
+package com.securebank.dto;
+
+import java.time.Instant;
+
+/**
+ * Load test job status: state, progress, and the result once the run has stopped
+ * (partial if it was cancelled or hit maxDurationMs).
+ */
+public class LoadTestStatusDto {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, TIMED_OUT, FAILED }
+
+    private long jobId;
+    private State state;
+    private long requestedOperations;
+    private long completedOperations;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String message;
+    private LoadTestResultDto result;
+
+    public long getJobId() { return jobId; }
+    public void setJobId(long jobId) { this.jobId = jobId; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public long getRequestedOperations() { return requestedOperations; }
+    public void setRequestedOperations(long requestedOperations) { this.requestedOperations = requestedOperations; }
+
+    public long getCompletedOperations() { return completedOperations; }
+    public void setCompletedOperations(long completedOperations) { this.completedOperations = completedOperations; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LoadTestResultDto getResult() { return result; }
+    public void setResult(LoadTestResultDto result) { this.result = result; }
+}
@@ -7,6 +7,7 @@ import com.securebank.dto.DeleteResultDto;
 import com.securebank.dto.SearchResultDto;
 import com.securebank.dto.TransactionRequest;
 import com.securebank.model.FlaggedTransaction;
+import com.securebank.stream.MutationType;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -14,26 +15,39 @@ import java.time.Instant;
 /**
  * Service layer: coordinates BST and unordered list, builds API responses including
  * search efficiency comparison and deletion impact explanations.
+ * Every applied mutation is published to the {@link MutationStreamService} change stream.
  */
 @Service
 public class FlaggedTransactionService {
 
     private final FlaggedTransactionBst bst = new FlaggedTransactionBst();
     private final UnorderedListStore listStore = new UnorderedListStore();
+    private final MutationStreamService mutationStream;
 
-    public boolean insert(TransactionRequest req) {
+    public FlaggedTransactionService(MutationStreamService mutationStream) {
+        this.mutationStream = mutationStream;
+    }
+
+    // Synchronized: the BST is not thread-safe, and change-stream sequence order must match the order applied to the tree
+    public synchronized boolean insert(TransactionRequest req) {
         FlaggedTransaction t = new FlaggedTransaction(
                 req.getTransactionId(),
                 req.getAmount() != null ? req.getAmount() : 0.0,
                 Instant.now(),
                 req.getReason()
         );
+        int sizeBefore = bst.size();
         boolean bstOk = bst.insert(t);
-        if (bstOk) listStore.add(t);
+        if (bstOk) {
+            listStore.add(t);
+            // Size unchanged means the ID already existed and its payload was replaced
+            MutationType type = bst.size() > sizeBefore ? MutationType.INSERT : MutationType.REPLACE;
+            mutationStream.publish(type, t.getTransactionId(), t, null);
+        }
         return bstOk;
     }
 
-    public SearchResultDto search(String transactionId) {
+    public synchronized SearchResultDto search(String transactionId) {
         SearchResultDto dto = new SearchResultDto();
         dto.setListSize(bst.size());
 
@@ -59,9 +73,12 @@ public class FlaggedTransactionService {
         return dto;
     }
 
-    public DeleteResultDto delete(String transactionId) {
+    public synchronized DeleteResultDto delete(String transactionId) {
         FlaggedTransactionBst.DeleteResult result = bst.deleteWithType(transactionId);
-        if (result.success) listStore.remove(transactionId);
+        if (result.success) {
+            listStore.remove(transactionId);
+            mutationStream.publish(MutationType.DELETE, transactionId, null, result.type);
+        }
 
         DeleteResultDto dto = new DeleteResultDto();
         dto.setDeleted(result.success);
@@ -89,11 +106,15 @@ public class FlaggedTransactionService {
         }
     }
 
-    public java.util.List<FlaggedTransaction> listAll() {
+    public synchronized java.util.List<FlaggedTransaction> listAll() {
         return bst.inOrder();
     }
 
-    public int size() {
+    public synchronized int size() {
         return bst.size();
     }
+
+    public synchronized int height() {
+        return bst.height();
+    }
 }
@@ -0,0 +1,306 @@
+package com.securebank.service;
+
+import com.securebank.dto.LoadTestRequest;
+import com.securebank.dto.LoadTestResultDto;
+import com.securebank.dto.LoadTestStatusDto;
+import com.securebank.dto.TransactionRequest;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Capacity-testing workload generator.
+ * Drives a configurable insert/search/delete mix against a fresh, isolated FlaggedTransactionService
+ * (same BST, list and change-stream code paths and cdc.* settings as production, but none of the live
+ * fraud set) and records per-operation latency in HdrHistograms. The run is split into phases so the
+ * result shows how throughput and latency degrade as the tree grows.
+ * <p>
+ * Runs are background jobs: start, poll status, cancel. Workers also stop at the request's maxDurationMs,
+ * since SEQUENTIAL IDs make every insert O(n) and a large run is quadratic.
+ */
+@Service
+@ConditionalOnProperty(name = "loadtest.enabled", havingValue = "true")
+public class LoadGeneratorService {
+
+    private static final String ID_PREFIX = "LOAD-";
+    private static final int PROGRESS_FLUSH_OPS = 1024; // publish progress every 1024 ops per worker
+
+    private final MutationStreamService productionStream;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor();
+    private final AtomicLong jobIds = new AtomicLong();
+    private volatile Job current;
+
+    public LoadGeneratorService(MutationStreamService productionStream) {
+        this.productionStream = productionStream;
+    }
+
+    /**
+     * Starts a load test in the background. Only one run at a time is allowed.
+     *
+     * @throws IllegalArgumentException        if the operation mix has no weight
+     * @throws LoadTestAlreadyRunningException if another run is in progress
+     */
+    public synchronized LoadTestStatusDto start(LoadTestRequest req) {
+        int totalWeight = req.getInsertPercent() + req.getSearchPercent() + req.getDeletePercent();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one of insertPercent, searchPercent, deletePercent must be positive.");
+        }
+        if (current != null && current.state == LoadTestStatusDto.State.RUNNING) {
+            throw new LoadTestAlreadyRunningException("Load test " + current.id + " is already running.");
+        }
+        Job job = new Job(jobIds.incrementAndGet(), req);
+        current = job;
+        coordinator.execute(() -> runJob(job));
+        return job.toStatus();
+    }
+
+    /** Status of the current or most recent run, or null if none has been started. */
+    public LoadTestStatusDto status() {
+        Job job = current;
+        return job != null ? job.toStatus() : null;
+    }
+
+    /** Asks the current run to stop; workers finish their current operation and a partial result is kept. */
+    public LoadTestStatusDto cancel() {
+        Job job = current;
+        if (job == null) return null;
+        job.cancelRequested = true;
+        return job.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Job job = current;
+        if (job != null) job.cancelRequested = true;
+        coordinator.shutdownNow();
+    }
+
+    private void runJob(Job job) {
+        // Same cdc.* settings as production, no subscribers: publishing cost is measured, nothing is delivered
+        MutationStreamService stream = productionStream.detachedCopy();
+        ExecutorService workers = Executors.newFixedThreadPool(job.request.getConcurrency());
+        try {
+            job.result = execute(job, new FlaggedTransactionService(stream), workers);
+            if (job.cancelRequested) job.finish(LoadTestStatusDto.State.CANCELLED, "Cancelled; result is partial.");
+            else if (job.timedOut) job.finish(LoadTestStatusDto.State.TIMED_OUT, "Stopped at maxDurationMs; result is partial.");
+            else job.finish(LoadTestStatusDto.State.COMPLETED, null);
+        } catch (RuntimeException e) {
+            job.finish(LoadTestStatusDto.State.FAILED, e.getMessage());
+        } finally {
+            workers.shutdownNow();
+            stream.shutdown();
+            // Errors (e.g. OutOfMemoryError) must not leave the job RUNNING and block every later start
+            if (job.state == LoadTestStatusDto.State.RUNNING) job.finish(LoadTestStatusDto.State.FAILED, "Load test aborted.");
+        }
+    }
+
+    private LoadTestResultDto execute(Job job, FlaggedTransactionService target, ExecutorService workers) {
+        LoadTestRequest req = job.request;
+        int phases = Math.min(req.getCheckpoints(), req.getOperations());
+        AtomicLong nextSequentialId = new AtomicLong();
+
+        Histogram insertHist = new Histogram(3);
+        Histogram searchHist = new Histogram(3);
+        Histogram deleteHist = new Histogram(3);
+        LoadTestResultDto result = new LoadTestResultDto();
+
+        long completed = 0;
+        long runStart = System.nanoTime();
+        for (int phase = 0; phase < phases && !job.shouldStop(); phase++) {
+            // Spread operations evenly over phases, then over workers; remainders go to the first ones
+            long phaseOps = req.getOperations() / phases + (phase < req.getOperations() % phases ? 1 : 0);
+            List<Callable<WorkerOutcome>> tasks = new ArrayList<>();
+            for (int w = 0; w < req.getConcurrency(); w++) {
+                long workerOps = phaseOps / req.getConcurrency() + (w < phaseOps % req.getConcurrency() ? 1 : 0);
+                if (workerOps > 0) tasks.add(() -> runWorker(job, target, workerOps, nextSequentialId));
+            }
+
+            long phaseStart = System.nanoTime();
+            Histogram phaseHist = new Histogram(3);
+            long phaseDone = 0;
+            for (WorkerOutcome out : invokeAll(workers, tasks)) {
+                insertHist.add(out.insert);
+                searchHist.add(out.search);
+                deleteHist.add(out.delete);
+                phaseHist.add(out.insert);
+                phaseHist.add(out.search);
+                phaseHist.add(out.delete);
+                phaseDone += out.done;
+            }
+            long phaseNanos = System.nanoTime() - phaseStart;
+            completed += phaseDone;
+
+            LoadTestResultDto.Checkpoint cp = new LoadTestResultDto.Checkpoint();
+            cp.setCompletedOperations(completed);
+            cp.setSize(target.size());
+            cp.setHeight(target.height());
+            cp.setPhaseThroughputOpsPerSec(opsPerSec(phaseDone, phaseNanos));
+            cp.setPhaseP99Micros(toMicros(phaseHist.getValueAtPercentile(99.0)));
+            result.getCheckpoints().add(cp);
+        }
+        long runNanos = System.nanoTime() - runStart;
+
+        result.setTotalOperations(completed);
+        result.setDurationMs(runNanos / 1_000_000);
+        result.setThroughputOpsPerSec(opsPerSec(completed, runNanos));
+        result.setFinalSize(target.size());
+        result.setFinalHeight(target.height());
+        result.getLatencies().put("insert", summarize(insertHist));
+        result.getLatencies().put("search", summarize(searchHist));
+        result.getLatencies().put("delete", summarize(deleteHist));
+        return result;
+    }
+
+    /** Executes up to {@code ops} operations, stopping early on cancel or deadline; latencies in nanoseconds. */
+    private static WorkerOutcome runWorker(Job job, FlaggedTransactionService target, long ops, AtomicLong nextSequentialId) {
+        LoadTestRequest req = job.request;
+        WorkerOutcome out = new WorkerOutcome();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int totalWeight = req.getInsertPercent() + req.getSearchPercent() + req.getDeletePercent();
+        boolean sequential = req.getIdPattern() == LoadTestRequest.IdPattern.SEQUENTIAL;
+
+        long unreported = 0;
+        for (long i = 0; i < ops; i++) {
+            // Every op: ops serialize on the service lock, so a worker's next op can be far in the future
+            if (job.shouldStop()) break;
+            int pick = rnd.nextInt(totalWeight);
+            if (pick < req.getInsertPercent()) {
+                long n = sequential ? nextSequentialId.getAndIncrement() : rnd.nextLong(req.getOperations());
+                TransactionRequest insert = new TransactionRequest();
+                insert.setTransactionId(formatId(n));
+                insert.setAmount(rnd.nextDouble(1.0, 10_000.0));
+                insert.setReason("load-test");
+                long start = System.nanoTime();
+                target.insert(insert);
+                out.insert.recordValue(System.nanoTime() - start);
+            } else {
+                String id = formatId(pickExistingKey(req, rnd, sequential, nextSequentialId));
+                boolean search = pick < req.getInsertPercent() + req.getSearchPercent();
+                long start = System.nanoTime();
+                if (search) target.search(id);
+                else target.delete(id);
+                (search ? out.search : out.delete).recordValue(System.nanoTime() - start);
+            }
+            out.done++;
+            if (++unreported == PROGRESS_FLUSH_OPS) {
+                job.progress.add(unreported);
+                unreported = 0;
+            }
+        }
+        job.progress.add(unreported);
+        return out;
+    }
+
+    /** Sequential mode targets IDs issued so far; random mode targets the whole key space. */
+    private static long pickExistingKey(LoadTestRequest req, ThreadLocalRandom rnd, boolean sequential, AtomicLong nextSequentialId) {
+        long bound = sequential ? Math.max(1, nextSequentialId.get()) : req.getOperations();
+        return rnd.nextLong(bound);
+    }
+
+    // Zero-padded so string order matches numeric order: sequential IDs build a fully skewed BST
+    private static String formatId(long n) {
+        String digits = Long.toString(n);
+        return ID_PREFIX + "0".repeat(Math.max(0, 10 - digits.length())) + digits;
+    }
+
+    private static List<WorkerOutcome> invokeAll(ExecutorService workers, List<Callable<WorkerOutcome>> tasks) {
+        List<WorkerOutcome> out = new ArrayList<>(tasks.size());
+        try {
+            for (Future<WorkerOutcome> f : workers.invokeAll(tasks)) out.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load test interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test worker failed: " + e.getCause(), e.getCause());
+        }
+        return out;
+    }
+
+    private static LoadTestResultDto.LatencySummary summarize(Histogram h) {
+        LoadTestResultDto.LatencySummary s = new LoadTestResultDto.LatencySummary();
+        s.setCount(h.getTotalCount());
+        if (h.getTotalCount() == 0) return s;
+        s.setMeanMicros(h.getMean() / 1000.0);
+        s.setP50Micros(toMicros(h.getValueAtPercentile(50.0)));
+        s.setP90Micros(toMicros(h.getValueAtPercentile(90.0)));
+        s.setP99Micros(toMicros(h.getValueAtPercentile(99.0)));
+        s.setP999Micros(toMicros(h.getValueAtPercentile(99.9)));
+        s.setMaxMicros(toMicros(h.getMaxValue()));
+        return s;
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static double opsPerSec(long ops, long nanos) {
+        return nanos > 0 ? ops * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+    private static class WorkerOutcome {
+        final Histogram insert = new Histogram(3);
+        final Histogram search = new Histogram(3);
+        final Histogram delete = new Histogram(3);
+        long done;
+    }
+
+    /** One load test run; fields are written by the coordinator/workers and read by status requests. */
+    private static class Job {
+        final long id;
+        final LoadTestRequest request;
+        final Instant startedAt = Instant.now();
+        final long deadlineNanos;
+        final LongAdder progress = new LongAdder();
+        volatile boolean cancelRequested;
+        volatile boolean timedOut;
+        volatile LoadTestStatusDto.State state = LoadTestStatusDto.State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String message;
+        volatile LoadTestResultDto result;
+
+        Job(long id, LoadTestRequest request) {
+            this.id = id;
+            this.request = request;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(request.getMaxDurationMs());
+        }
+
+        boolean shouldStop() {
+            if (cancelRequested || timedOut) return true;
+            if (System.nanoTime() - deadlineNanos >= 0) timedOut = true;
+            return timedOut;
+        }
+
+        void finish(LoadTestStatusDto.State finalState, String finalMessage) {
+            message = finalMessage;
+            finishedAt = Instant.now();
+            state = finalState; // written last: RUNNING -> final state publishes the fields above
+        }
+
+        LoadTestStatusDto toStatus() {
+            LoadTestStatusDto dto = new LoadTestStatusDto();
+            dto.setJobId(id);
+            dto.setState(state);
+            dto.setRequestedOperations(request.getOperations());
+            dto.setCompletedOperations(progress.sum());
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setMessage(message);
+            dto.setResult(result);
+            return dto;
+        }
+    }
+}
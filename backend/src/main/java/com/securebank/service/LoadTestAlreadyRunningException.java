@@ -0,0 +1,11 @@
+package com.securebank.service;
+
+/**
+ * Thrown when a load test is requested while another one is still running.
+ */
+public class LoadTestAlreadyRunningException extends RuntimeException {
+
+    public LoadTestAlreadyRunningException(String message) {
+        super(message);
+    }
+}
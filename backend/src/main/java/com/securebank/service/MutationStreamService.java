@@ -0,0 +1,286 @@
+package com.securebank.service;
+
+import com.securebank.bst.DeletionType;
+import com.securebank.model.FlaggedTransaction;
+import com.securebank.stream.MutationEventBuffer;
+import com.securebank.stream.MutationType;
+import com.securebank.stream.TreeMutationEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change-data-capture stream of BST mutations.
+ * Mutations are appended to a bounded ring buffer; a dispatcher periodically fans them out to
+ * Server-Sent Events subscribers in batches.
+ * <p>
+ * SSE ids have the form {@code epoch-sequence}. Sequences restart on every boot, so a cursor from an
+ * earlier epoch, one ahead of the buffer, or one without an epoch gets a {@code resync} event instead of
+ * being trusted.
+ * <p>
+ * Sends are blocking servlet writes. Each subscriber has at most one batch in flight, and the sender pool
+ * has one thread per subscriber slot ({@code cdc.max-subscribers}), so a client that stops reading only
+ * ties up its own thread. Slots are reserved atomically on subscribe. A send blocked longer than
+ * {@code cdc.send-timeout-ms} drops that subscriber without touching its emitter (closing it would wait
+ * on the stuck write); the sender thread closes it and frees the slot once the write returns.
+ */
+@Service
+public class MutationStreamService {
+
+    private final MutationEventBuffer buffer;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long heartbeatIntervalMs;
+    private final long emitterTimeoutMs;
+    private final int maxSubscribers;
+    private final long sendTimeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore slots; // held from subscribe until the subscriber is gone and no write is in flight
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadPoolExecutor senders;
+
+    public MutationStreamService(@Value("${cdc.buffer-capacity:4096}") int bufferCapacity,
+                                 @Value("${cdc.batch-size:200}") int batchSize,
+                                 @Value("${cdc.flush-interval-ms:250}") long flushIntervalMs,
+                                 @Value("${cdc.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                                 @Value("${cdc.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                 @Value("${cdc.max-subscribers:32}") int maxSubscribers,
+                                 @Value("${cdc.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.buffer = new MutationEventBuffer(bufferCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = flushIntervalMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.slots = new Semaphore(this.maxSubscribers);
+        // One thread per subscriber slot, created on demand and released when idle
+        this.senders = new ThreadPoolExecutor(this.maxSubscribers, this.maxSubscribers,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        this.senders.allowCoreThreadTimeOut(true);
+        dispatcher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** New, independent stream with the same cdc.* settings (used by the load generator's isolated service). */
+    public MutationStreamService detachedCopy() {
+        return new MutationStreamService(buffer.capacity(), batchSize, flushIntervalMs, heartbeatIntervalMs,
+                emitterTimeoutMs, maxSubscribers, sendTimeoutMs);
+    }
+
+    /** Records a mutation. Callers must publish in the same order the mutations were applied to the tree. */
+    public TreeMutationEvent publish(MutationType type, String transactionId,
+                                     FlaggedTransaction transaction, DeletionType deletionType) {
+        return buffer.append(type, transactionId, transaction, deletionType);
+    }
+
+    /**
+     * Opens a new SSE subscription.
+     * {@code cursor} is the last id the client saw ({@code epoch-sequence}); events after it are delivered.
+     * Null means "only new events". A cursor from another epoch, ahead of the buffer, without an epoch, or
+     * otherwise unparseable starts with a {@code resync} event.
+     *
+     * @throws IllegalStateException if all subscriber slots are in use
+     */
+    public SseEmitter subscribe(String cursor) {
+        if (!slots.tryAcquire()) {
+            throw new IllegalStateException("Change stream subscriber limit reached.");
+        }
+        try {
+            long latest = buffer.latestSequence();
+            long after = latest;
+            boolean resync = false;
+            if (cursor != null && !cursor.isBlank()) {
+                long parsed = parseCursor(cursor.trim());
+                if (parsed < 0 || parsed > latest) resync = true;
+                else after = parsed;
+            }
+            SseEmitter emitter = createEmitter(emitterTimeoutMs);
+            Subscriber sub = new Subscriber(emitter, after, resync);
+            emitter.onCompletion(() -> retire(sub));
+            emitter.onTimeout(() -> retire(sub));
+            emitter.onError(e -> retire(sub));
+            subscribers.add(sub);
+            return emitter;
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /** Emitter factory; tests substitute emitters that record or block. */
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * Returns the sequence in an {@code epoch-sequence} cursor, or -1 if it is malformed, has no epoch
+     * (a bare sequence cannot be told apart from one issued before a restart), or belongs to another epoch.
+     */
+    long parseCursor(String cursor) {
+        int dash = cursor.lastIndexOf('-');
+        if (dash <= 0 || !cursor.substring(0, dash).equals(epoch)) return -1;
+        try {
+            long seq = Long.parseLong(cursor.substring(dash + 1));
+            return seq >= 0 ? seq : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    String epoch() { return epoch; }
+
+    /** Buffer and subscriber counters for monitoring. */
+    public Map<String, Object> stats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("epoch", epoch);
+        body.put("latestSequence", buffer.latestSequence());
+        body.put("oldestSequence", buffer.oldestSequence());
+        body.put("bufferCapacity", buffer.capacity());
+        body.put("subscribers", subscribers.size());
+        body.put("maxSubscribers", maxSubscribers);
+        body.put("reservedSlots", maxSubscribers - slots.availablePermits()); // includes dropped subscribers still stuck in a write
+        return body;
+    }
+
+    /** Drops subscribers whose send is stuck, then hands one batch to every subscriber that has no send in flight. */
+    void flush() {
+        long now = System.currentTimeMillis();
+        for (Subscriber sub : subscribers) {
+            if (sub.retired) continue;
+            if (sub.sending.get()) {
+                if (now - sub.sendStartedAt > sendTimeoutMs) drop(sub); // never blocks: the close is left to the sender
+                continue;
+            }
+            sub.sending.set(true);
+            sub.sendStartedAt = now;
+            try {
+                senders.execute(() -> deliver(sub, now));
+            } catch (RuntimeException e) {
+                sub.sending.set(false);
+            }
+        }
+    }
+
+    private void deliver(Subscriber sub, long now) {
+        try {
+            if (sub.retired) return; // dropped between flush() picking it and this task running
+            MutationEventBuffer.ReadResult read = sub.resyncPending
+                    ? null
+                    : buffer.readAfter(sub.cursor, batchSize);
+            if (read == null || read.overrun) {
+                // Client state cannot be continued: it must re-read the full list, then continue from latest
+                long latest = buffer.latestSequence();
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("epoch", epoch);
+                data.put("oldestSequence", buffer.oldestSequence());
+                data.put("latestSequence", latest);
+                data.put("message", "Events were dropped or the stream restarted; reload GET /api/flagged-transactions and continue from latestSequence.");
+                sub.emitter.send(SseEmitter.event()
+                        .id(eventId(latest))
+                        .name("resync")
+                        .data(data, MediaType.APPLICATION_JSON));
+                sub.cursor = latest;
+                sub.resyncPending = false;
+                sub.lastSendAt = now;
+            } else if (!read.events.isEmpty()) {
+                long last = read.events.get(read.events.size() - 1).getSequence();
+                sub.emitter.send(SseEmitter.event()
+                        .id(eventId(last))
+                        .name("mutations")
+                        .data(read.events, MediaType.APPLICATION_JSON));
+                sub.cursor = last;
+                sub.lastSendAt = now;
+            } else if (now - sub.lastSendAt >= heartbeatIntervalMs) {
+                // Keeps idle connections open and detects clients that went away
+                sub.emitter.send(SseEmitter.event().comment("heartbeat"));
+                sub.lastSendAt = now;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Includes serialization failures: retrying the same batch would fail forever
+            drop(sub);
+        } finally {
+            // Clear the flag first so a concurrent drop()/retire() either sees it cleared or we finish the job here
+            sub.sending.set(false);
+            closeIfPending(sub);
+            releaseSlot(sub);
+        }
+    }
+
+    /**
+     * Removes a subscriber and closes its emitter. If a write is in flight the emitter is left alone, since
+     * closing it would wait on that write; deliver() closes it once the write returns.
+     */
+    private void drop(Subscriber sub) {
+        if (!sub.dropped.compareAndSet(false, true)) return;
+        sub.closePending.set(true);
+        retire(sub);
+        if (!sub.sending.get()) closeIfPending(sub);
+    }
+
+    private void closeIfPending(Subscriber sub) {
+        if (!sub.closePending.compareAndSet(true, false)) return;
+        try {
+            sub.emitter.completeWithError(new IOException("Subscriber dropped"));
+        } catch (RuntimeException ignored) {
+            // Emitter already completed
+        }
+    }
+
+    /** Stops dispatching to a subscriber; its slot is freed once no write is in flight. */
+    private void retire(Subscriber sub) {
+        sub.retired = true;
+        subscribers.remove(sub);
+        releaseSlot(sub);
+    }
+
+    private void releaseSlot(Subscriber sub) {
+        if (sub.retired && !sub.sending.get() && sub.slotReleased.compareAndSet(false, true)) slots.release();
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber sub : subscribers) drop(sub);
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean(false);
+        final AtomicBoolean dropped = new AtomicBoolean(false);
+        final AtomicBoolean closePending = new AtomicBoolean(false);
+        final AtomicBoolean slotReleased = new AtomicBoolean(false);
+        volatile boolean retired;
+        volatile long cursor;
+        volatile boolean resyncPending;
+        volatile long sendStartedAt;
+        volatile long lastSendAt = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter, long cursor, boolean resyncPending) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.resyncPending = resyncPending;
+        }
+    }
+}
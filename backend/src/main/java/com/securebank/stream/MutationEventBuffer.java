@@ -0,0 +1,82 @@
+package com.securebank.stream;
+
+import com.securebank.bst.DeletionType;
+import com.securebank.model.FlaggedTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring buffer of tree mutation events.
+ * Holds the most recent {@code capacity} events; older ones are overwritten. Readers keep their own
+ * cursor (last sequence seen) and detect an overrun when the events they need have been overwritten.
+ */
+public class MutationEventBuffer {
+
+    private final TreeMutationEvent[] ring;
+    private long nextSequence = 1;
+
+    public MutationEventBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.ring = new TreeMutationEvent[capacity];
+    }
+
+    /**
+     * Appends a new event, assigning it the next sequence number.
+     * Overwrites the oldest event once the buffer is full.
+     */
+    public synchronized TreeMutationEvent append(MutationType type, String transactionId,
+                                                 FlaggedTransaction transaction, DeletionType deletionType) {
+        long seq = nextSequence++;
+        TreeMutationEvent event = new TreeMutationEvent(seq, type, transactionId, transaction, deletionType);
+        ring[(int) (seq % ring.length)] = event;
+        return event;
+    }
+
+    /**
+     * Reads up to {@code maxEvents} events with sequence greater than {@code afterSequence}.
+     * If some of those events were already overwritten, returns an overrun result with no events.
+     */
+    public synchronized ReadResult readAfter(long afterSequence, int maxEvents) {
+        long latest = nextSequence - 1;
+        long oldest = oldestSequence();
+        if (afterSequence >= latest) {
+            return new ReadResult(List.of(), false, oldest, latest);
+        }
+        if (afterSequence + 1 < oldest) {
+            return new ReadResult(List.of(), true, oldest, latest);
+        }
+        long end = Math.min(latest, afterSequence + maxEvents);
+        List<TreeMutationEvent> events = new ArrayList<>((int) (end - afterSequence));
+        for (long seq = afterSequence + 1; seq <= end; seq++) {
+            events.add(ring[(int) (seq % ring.length)]);
+        }
+        return new ReadResult(events, false, oldest, latest);
+    }
+
+    /** Sequence number of the most recent event, or 0 if nothing has been published yet. */
+    public synchronized long latestSequence() {
+        return nextSequence - 1;
+    }
+
+    /** Sequence number of the oldest event still held in the buffer. */
+    public synchronized long oldestSequence() {
+        return Math.max(1, nextSequence - ring.length);
+    }
+
+    public int capacity() { return ring.length; }
+
+    public static class ReadResult {
+        public final List<TreeMutationEvent> events;
+        public final boolean overrun;
+        public final long oldestSequence;
+        public final long latestSequence;
+
+        public ReadResult(List<TreeMutationEvent> events, boolean overrun, long oldestSequence, long latestSequence) {
+            this.events = events;
+            this.overrun = overrun;
+            this.oldestSequence = oldestSequence;
+            this.latestSequence = latestSequence;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.securebank.stream;
+
+/**
+ * Kind of change applied to the flagged transaction BST, as published on the change stream.
+ */
+public enum MutationType {
+    INSERT,
+    REPLACE,
+    DELETE
+}
@@ -0,0 +1,37 @@
+package com.securebank.stream;
+
+import com.securebank.bst.DeletionType;
+import com.securebank.model.FlaggedTransaction;
+
+import java.time.Instant;
+
+/**
+ * One change-data-capture record: a single insert, replace, or delete applied to the BST.
+ * Sequence numbers are strictly increasing in the order mutations were applied.
+ */
+public class TreeMutationEvent {
+
+    private final long sequence;
+    private final MutationType type;
+    private final String transactionId;
+    private final FlaggedTransaction transaction; // null for DELETE
+    private final DeletionType deletionType;      // only set for DELETE
+    private final Instant occurredAt;
+
+    public TreeMutationEvent(long sequence, MutationType type, String transactionId,
+                             FlaggedTransaction transaction, DeletionType deletionType) {
+        this.sequence = sequence;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.transaction = transaction;
+        this.deletionType = deletionType;
+        this.occurredAt = Instant.now();
+    }
+
+    public long getSequence() { return sequence; }
+    public MutationType getType() { return type; }
+    public String getTransactionId() { return transactionId; }
+    public FlaggedTransaction getTransaction() { return transaction; }
+    public DeletionType getDeletionType() { return deletionType; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
@@ -0,0 +1,244 @@
+package com.securebank.service;
+
+import com.securebank.stream.MutationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationStreamServiceTest {
+
+    private static final long NO_AUTO_FLUSH = 3_600_000;
+
+    private TestStream stream;
+
+    @AfterEach
+    void tearDown() {
+        if (stream != null) stream.shutdown();
+    }
+
+    @Test
+    void parseCursorAcceptsOnlyThisEpoch() {
+        stream = new TestStream(16, NO_AUTO_FLUSH, 4, 10_000);
+        String epoch = stream.epoch();
+
+        assertEquals(5, stream.parseCursor(epoch + "-5"));
+        assertEquals(0, stream.parseCursor(epoch + "-0"));
+        assertEquals(-1, stream.parseCursor("5"), "bare sequence cannot be tied to this boot");
+        assertEquals(-1, stream.parseCursor("zzzzzzzzzz-5"), "foreign epoch");
+        assertEquals(-1, stream.parseCursor(epoch + "-"));
+        assertEquals(-1, stream.parseCursor(epoch + "-abc"));
+        assertEquals(-1, stream.parseCursor("-5"));
+        assertEquals(-1, stream.parseCursor(epoch + "--1"));
+        assertEquals(-1, stream.parseCursor(""));
+    }
+
+    @Test
+    void validCursorResumesAfterThatSequence() throws Exception {
+        stream = new TestStream(16, NO_AUTO_FLUSH, 4, 10_000);
+        publish(stream, 3);
+        RecordingEmitter emitter = stream.nextRecording();
+        stream.subscribe(stream.epoch() + "-1");
+
+        stream.flush();
+        awaitTrue(() -> !emitter.frames.isEmpty());
+        String frame = emitter.frames.get(0);
+        assertTrue(frame.contains("event:mutations"), frame);
+        assertTrue(frame.contains("id:" + stream.epoch() + "-3"), frame);
+    }
+
+    @Test
+    void cursorAheadOfLatestGetsResync() throws Exception {
+        assertResyncFor(s -> s.epoch() + "-99");
+    }
+
+    @Test
+    void foreignEpochGetsResync() throws Exception {
+        assertResyncFor(s -> "zzzzzzzzzz-1");
+    }
+
+    @Test
+    void bareSequenceGetsResync() throws Exception {
+        assertResyncFor(s -> "1");
+    }
+
+    @Test
+    void malformedCursorGetsResync() throws Exception {
+        assertResyncFor(s -> "not-a-cursor");
+    }
+
+    @Test
+    void subscriberBehindTheBufferGetsResync() throws Exception {
+        stream = new TestStream(4, NO_AUTO_FLUSH, 4, 10_000);
+        RecordingEmitter emitter = stream.nextRecording();
+        stream.subscribe(null);
+        publish(stream, 10); // overwrites everything after the subscriber's cursor
+
+        stream.flush();
+        awaitTrue(() -> !emitter.frames.isEmpty());
+        assertTrue(emitter.frames.get(0).contains("event:resync"), emitter.frames.get(0));
+    }
+
+    @Test
+    void concurrentSubscribesNeverExceedTheLimit() throws Exception {
+        int limit = 4;
+        stream = new TestStream(16, NO_AUTO_FLUSH, limit, 10_000);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        for (int i = 0; i < 16; i++) {
+            pool.execute(() -> {
+                try {
+                    go.await();
+                    stream.subscribe(null);
+                    accepted.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        go.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(limit, accepted.get());
+        assertEquals(16 - limit, rejected.get());
+    }
+
+    @Test
+    void stalledSubscriberDoesNotBlockOthers() throws Exception {
+        stream = new TestStream(64, 20, 4, 100);
+        BlockingEmitter stuck = stream.nextBlocking();
+        RecordingEmitter healthy = stream.nextRecording();
+        stream.subscribe(null);
+        stream.subscribe(null);
+
+        publish(stream, 1);
+        assertTrue(stuck.entered.await(2, TimeUnit.SECONDS));
+        awaitTrue(() -> healthy.frames.stream().anyMatch(f -> f.contains("-1\n")));
+
+        // Well past cdc.send-timeout-ms: the dispatcher has dropped the stuck subscriber and must keep flushing
+        Thread.sleep(300);
+        publish(stream, 1);
+        awaitTrue(() -> healthy.frames.stream().anyMatch(f -> f.contains("-2\n")));
+        assertFalse(stuck.closed, "emitter must not be closed while its write is blocked");
+
+        stuck.release.countDown();
+        awaitTrue(() -> stuck.closed);
+    }
+
+    private void assertResyncFor(java.util.function.Function<TestStream, String> cursor) throws Exception {
+        stream = new TestStream(16, NO_AUTO_FLUSH, 4, 10_000);
+        publish(stream, 2);
+        RecordingEmitter emitter = stream.nextRecording();
+        stream.subscribe(cursor.apply(stream));
+
+        stream.flush();
+        awaitTrue(() -> !emitter.frames.isEmpty());
+        String frame = emitter.frames.get(0);
+        assertTrue(frame.contains("event:resync"), frame);
+        assertTrue(frame.contains("id:" + stream.epoch() + "-2"), frame);
+    }
+
+    private static void publish(MutationStreamService stream, int count) {
+        for (int i = 0; i < count; i++) {
+            stream.publish(MutationType.INSERT, "TX-" + i, null, null);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 2s");
+            Thread.sleep(10);
+        }
+    }
+
+    /** Stream whose emitters are handed out from a queue of test emitters. */
+    private static class TestStream extends MutationStreamService {
+        private final Deque<SseEmitter> pending = new ArrayDeque<>();
+
+        TestStream(int capacity, long flushIntervalMs, int maxSubscribers, long sendTimeoutMs) {
+            super(capacity, 100, flushIntervalMs, 60_000, 60_000, maxSubscribers, sendTimeoutMs);
+        }
+
+        RecordingEmitter nextRecording() {
+            RecordingEmitter e = new RecordingEmitter();
+            synchronized (pending) { pending.add(e); }
+            return e;
+        }
+
+        BlockingEmitter nextBlocking() {
+            BlockingEmitter e = new BlockingEmitter();
+            synchronized (pending) { pending.add(e); }
+            return e;
+        }
+
+        @Override
+        SseEmitter createEmitter(long timeoutMs) {
+            synchronized (pending) {
+                SseEmitter e = pending.poll();
+                return e != null ? e : new RecordingEmitter();
+            }
+        }
+    }
+
+    /** Records the text parts (id, event name, comments) of every frame sent. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String s) text.append(s);
+            });
+            frames.add(text.toString());
+        }
+    }
+
+    /**
+     * Emitter whose send blocks like a servlet write to a client that stopped reading.
+     * Like ResponseBodyEmitter, send and completeWithError share one lock.
+     */
+    private static class BlockingEmitter extends SseEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean closed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            synchronized (this) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            synchronized (this) {
+                closed = true;
+            }
+        }
+    }
+}
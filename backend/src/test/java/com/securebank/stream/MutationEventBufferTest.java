@@ -0,0 +1,88 @@
+package com.securebank.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationEventBufferTest {
+
+    private static MutationEventBuffer bufferWith(int capacity, int events) {
+        MutationEventBuffer buffer = new MutationEventBuffer(capacity);
+        for (int i = 1; i <= events; i++) {
+            buffer.append(MutationType.INSERT, "TX-" + i, null, null);
+        }
+        return buffer;
+    }
+
+    private static List<Long> sequences(MutationEventBuffer.ReadResult read) {
+        return read.events.stream().map(TreeMutationEvent::getSequence).toList();
+    }
+
+    @Test
+    void emptyBufferReadsNothing() {
+        MutationEventBuffer buffer = new MutationEventBuffer(4);
+        MutationEventBuffer.ReadResult read = buffer.readAfter(0, 10);
+        assertTrue(read.events.isEmpty());
+        assertFalse(read.overrun);
+        assertEquals(0, buffer.latestSequence());
+        assertEquals(1, buffer.oldestSequence());
+    }
+
+    @Test
+    void wraparoundKeepsOnlyTheLatestCapacityEvents() {
+        MutationEventBuffer buffer = bufferWith(4, 10);
+        assertEquals(10, buffer.latestSequence());
+        assertEquals(7, buffer.oldestSequence());
+
+        MutationEventBuffer.ReadResult read = buffer.readAfter(6, 10);
+        assertFalse(read.overrun);
+        assertEquals(List.of(7L, 8L, 9L, 10L), sequences(read));
+        // Ring slots map back to the right events after wrapping
+        for (TreeMutationEvent e : read.events) {
+            assertEquals("TX-" + e.getSequence(), e.getTransactionId());
+        }
+    }
+
+    @Test
+    void readingFromExactlyTheOldestSequenceIsNotAnOverrun() {
+        MutationEventBuffer buffer = bufferWith(4, 10);
+        MutationEventBuffer.ReadResult read = buffer.readAfter(buffer.oldestSequence() - 1, 1);
+        assertFalse(read.overrun);
+        assertEquals(List.of(7L), sequences(read));
+    }
+
+    @Test
+    void cursorBeforeTheOldestSequenceIsAnOverrun() {
+        MutationEventBuffer buffer = bufferWith(4, 10);
+        MutationEventBuffer.ReadResult read = buffer.readAfter(5, 10);
+        assertTrue(read.overrun);
+        assertTrue(read.events.isEmpty());
+        assertEquals(7, read.oldestSequence);
+        assertEquals(10, read.latestSequence);
+    }
+
+    @Test
+    void readingAtAndJustBeforeTheLatestSequence() {
+        MutationEventBuffer buffer = bufferWith(4, 10);
+        MutationEventBuffer.ReadResult atLatest = buffer.readAfter(10, 10);
+        assertFalse(atLatest.overrun);
+        assertTrue(atLatest.events.isEmpty());
+
+        MutationEventBuffer.ReadResult beforeLatest = buffer.readAfter(9, 10);
+        assertEquals(List.of(10L), sequences(beforeLatest));
+    }
+
+    @Test
+    void batchesAreLimitedToMaxEvents() {
+        MutationEventBuffer buffer = bufferWith(8, 6);
+        assertEquals(List.of(1L, 2L), sequences(buffer.readAfter(0, 2)));
+        assertEquals(List.of(3L, 4L), sequences(buffer.readAfter(2, 2)));
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new MutationEventBuffer(0));
+    }
+}